@@ -0,0 +1,18 @@
+package com.kgulyy.args;
+
+import com.kgulyy.args.marshalers.*;
+
+enum ArgumentKind {
+    BOOLEAN, STRING, INTEGER, DOUBLE;
+
+    static ArgumentKind of(ArgumentMarshaler am) {
+        if (am instanceof StringArgumentMarshaler)
+            return STRING;
+        else if (am instanceof IntegerArgumentMarshaler)
+            return INTEGER;
+        else if (am instanceof DoubleArgumentMarshaler)
+            return DOUBLE;
+        else
+            return BOOLEAN;
+    }
+}
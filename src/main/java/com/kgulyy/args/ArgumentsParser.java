@@ -14,7 +14,7 @@ public class ArgumentsParser {
     private ListIterator<String> currentArgument;
 
     public ArgumentsParser(String schema, String[] args) throws ParserException {
-        marshalers = new HashMap<>();
+        marshalers = new LinkedHashMap<>();
         argsFound = new HashSet<>();
         parseSchema(schema);
         parseArgumentStrings(Arrays.asList(args));
@@ -101,4 +101,12 @@ public class ArgumentsParser {
     public double getDouble(char arg) {
         return DoubleArgumentMarshaler.getValue(marshalers.get(arg));
     }
+
+    Map<Character, ArgumentMarshaler> marshalers() {
+        return Collections.unmodifiableMap(marshalers);
+    }
+
+    public ParsedArguments snapshot() {
+        return ParsedArguments.of(marshalers, argsFound);
+    }
 }
@@ -0,0 +1,152 @@
+package com.kgulyy.args;
+
+import com.kgulyy.args.exception.ParserException;
+import com.kgulyy.args.marshalers.ArgumentMarshaler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Usage text for a schema, with optional per-argument descriptions and defaults.
+ * The text is rendered and encoded once on construction, in the given charset or UTF-8 by default,
+ * so printing it on every error is a single write. Pass the charset of the target stream,
+ * e.g. {@code stderr.encoding}, when it is not UTF-8.
+ */
+@SuppressWarnings("WeakerAccess")
+public final class ArgumentsUsage {
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final int COLUMN_GAP = 4;
+
+    private final String text;
+    private final byte[] bytes;
+
+    public ArgumentsUsage(String schema) throws ParserException {
+        this(schema, Collections.<Character, String>emptyMap(), Collections.<Character, String>emptyMap());
+    }
+
+    public ArgumentsUsage(String schema, Map<Character, String> descriptions, Map<Character, String> defaults)
+            throws ParserException {
+        this(schema, descriptions, defaults, StandardCharsets.UTF_8);
+    }
+
+    public ArgumentsUsage(String schema, Map<Character, String> descriptions, Map<Character, String> defaults,
+                          Charset charset) throws ParserException {
+        Map<Character, ArgumentMarshaler> marshalers = new ArgumentsParser(schema, new String[0]).marshalers();
+        char[] ids = new char[marshalers.size()];
+        ArgumentKind[] kinds = new ArgumentKind[ids.length];
+        int slot = 0;
+        for (Map.Entry<Character, ArgumentMarshaler> entry : marshalers.entrySet()) {
+            ids[slot] = entry.getKey();
+            kinds[slot++] = ArgumentKind.of(entry.getValue());
+        }
+        validateIds(marshalers, descriptions);
+        validateIds(marshalers, defaults);
+        validateDefaults(ids, kinds, defaults);
+        this.text = render(ids, kinds, descriptions, defaults);
+        this.bytes = text.getBytes(charset);
+    }
+
+    private static void validateIds(Map<Character, ArgumentMarshaler> marshalers, Map<Character, String> extras) {
+        for (char id : extras.keySet()) {
+            if (!marshalers.containsKey(id))
+                throw new IllegalArgumentException(String.format("Argument -%c is not in the schema.", id));
+        }
+    }
+
+    private static void validateDefaults(char[] ids, ArgumentKind[] kinds, Map<Character, String> defaults) {
+        for (int slot = 0; slot < ids.length; slot++) {
+            String defaultValue = defaults.get(ids[slot]);
+            if (defaultValue != null)
+                validateDefault(ids[slot], kinds[slot], defaultValue);
+        }
+    }
+
+    private static void validateDefault(char id, ArgumentKind kind, String defaultValue) {
+        switch (kind) {
+            case BOOLEAN:
+                if (!defaultValue.equals("true") && !defaultValue.equals("false"))
+                    throw invalidDefault(id, "a boolean", defaultValue);
+                break;
+            case INTEGER:
+                try {
+                    Integer.parseInt(defaultValue);
+                } catch (NumberFormatException e) {
+                    throw invalidDefault(id, "an integer", defaultValue);
+                }
+                break;
+            case DOUBLE:
+                try {
+                    Double.parseDouble(defaultValue);
+                } catch (NumberFormatException e) {
+                    throw invalidDefault(id, "a double", defaultValue);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static IllegalArgumentException invalidDefault(char id, String type, String defaultValue) {
+        return new IllegalArgumentException(
+                String.format("Default for -%c must be %s but was '%s'.", id, type, defaultValue));
+    }
+
+    private static String render(char[] ids, ArgumentKind[] kinds,
+                                 Map<Character, String> descriptions, Map<Character, String> defaults) {
+        String[] options = new String[ids.length];
+        int width = 0;
+        StringBuilder usage = new StringBuilder("Usage:");
+        for (int slot = 0; slot < ids.length; slot++) {
+            options[slot] = formatOption(ids[slot], kinds[slot]);
+            usage.append(" [").append(options[slot]).append(']');
+            width = Math.max(width, options[slot].length());
+        }
+        usage.append(LINE_SEPARATOR);
+
+        for (int slot = 0; slot < ids.length; slot++) {
+            usage.append("  ").append(options[slot]);
+            String description = descriptions.get(ids[slot]);
+            String defaultValue = defaults.get(ids[slot]);
+            if (description != null || defaultValue != null) {
+                for (int i = options[slot].length(); i < width + COLUMN_GAP; i++)
+                    usage.append(' ');
+                if (description != null)
+                    usage.append(description);
+                if (defaultValue != null)
+                    usage.append(description != null ? " " : "").append("(default: ").append(defaultValue).append(')');
+            }
+            usage.append(LINE_SEPARATOR);
+        }
+        return usage.toString();
+    }
+
+    private static String formatOption(char id, ArgumentKind kind) {
+        switch (kind) {
+            case STRING:
+                return "-" + id + " <string>";
+            case INTEGER:
+                return "-" + id + " <integer>";
+            case DOUBLE:
+                return "-" + id + " <double>";
+            default:
+                return "-" + id;
+        }
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(bytes);
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
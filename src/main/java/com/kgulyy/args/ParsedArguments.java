@@ -0,0 +1,143 @@
+package com.kgulyy.args;
+
+import com.kgulyy.args.marshalers.*;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of a parse result. All state lives in final arrays that never escape,
+ * so an instance can be shared between threads without synchronization and used as a map key.
+ */
+@SuppressWarnings("WeakerAccess")
+public final class ParsedArguments {
+    private static final ArgumentKind[] KINDS = ArgumentKind.values();
+
+    private final char[] ids;
+    private final byte[] kinds;
+    private final long[] found;
+    private final long[] values;
+    private final String[] strings;
+    private final int cardinality;
+    private final int hash;
+
+    private ParsedArguments(char[] ids, byte[] kinds, long[] found, long[] values, String[] strings) {
+        this.ids = ids;
+        this.kinds = kinds;
+        this.found = found;
+        this.values = values;
+        this.strings = strings;
+        this.cardinality = countFound(found);
+        this.hash = computeHash();
+    }
+
+    static ParsedArguments of(Map<Character, ArgumentMarshaler> marshalers, Set<Character> argsFound) {
+        int size = marshalers.size();
+        char[] ids = new char[size];
+        int slot = 0;
+        for (char id : marshalers.keySet())
+            ids[slot++] = id;
+        Arrays.sort(ids);
+
+        byte[] kinds = new byte[size];
+        long[] found = new long[(size + 63) >>> 6];
+        long[] values = new long[size];
+        String[] strings = new String[size];
+        for (slot = 0; slot < size; slot++) {
+            ArgumentMarshaler am = marshalers.get(ids[slot]);
+            ArgumentKind kind = ArgumentKind.of(am);
+            kinds[slot] = (byte) kind.ordinal();
+            if (argsFound.contains(ids[slot]))
+                found[slot >>> 6] |= 1L << slot;
+            switch (kind) {
+                case STRING:
+                    strings[slot] = StringArgumentMarshaler.getValue(am).intern();
+                    break;
+                case INTEGER:
+                    values[slot] = IntegerArgumentMarshaler.getValue(am);
+                    break;
+                case DOUBLE:
+                    values[slot] = Double.doubleToLongBits(DoubleArgumentMarshaler.getValue(am));
+                    break;
+                default:
+                    break;
+            }
+        }
+        return new ParsedArguments(ids, kinds, found, values, strings);
+    }
+
+    private static int countFound(long[] found) {
+        int count = 0;
+        for (long word : found)
+            count += Long.bitCount(word);
+        return count;
+    }
+
+    private int computeHash() {
+        int result = Arrays.hashCode(ids);
+        result = 31 * result + Arrays.hashCode(kinds);
+        result = 31 * result + Arrays.hashCode(found);
+        result = 31 * result + Arrays.hashCode(values);
+        result = 31 * result + Arrays.hashCode(strings);
+        return result;
+    }
+
+    private int slotOf(char arg, ArgumentKind kind) {
+        int slot = Arrays.binarySearch(ids, arg);
+        return slot >= 0 && KINDS[kinds[slot]] == kind ? slot : -1;
+    }
+
+    private boolean isFound(int slot) {
+        return (found[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public boolean has(char arg) {
+        int slot = Arrays.binarySearch(ids, arg);
+        return slot >= 0 && isFound(slot);
+    }
+
+    public boolean getBoolean(char arg) {
+        int slot = slotOf(arg, ArgumentKind.BOOLEAN);
+        return slot >= 0 && isFound(slot);
+    }
+
+    public String getString(char arg) {
+        int slot = slotOf(arg, ArgumentKind.STRING);
+        return slot >= 0 ? strings[slot] : "";
+    }
+
+    public int getInt(char arg) {
+        int slot = slotOf(arg, ArgumentKind.INTEGER);
+        return slot >= 0 ? (int) values[slot] : 0;
+    }
+
+    public double getDouble(char arg) {
+        int slot = slotOf(arg, ArgumentKind.DOUBLE);
+        return slot >= 0 ? Double.longBitsToDouble(values[slot]) : 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof ParsedArguments))
+            return false;
+        ParsedArguments that = (ParsedArguments) o;
+        return hash == that.hash
+                && Arrays.equals(ids, that.ids)
+                && Arrays.equals(kinds, that.kinds)
+                && Arrays.equals(found, that.found)
+                && Arrays.equals(values, that.values)
+                && Arrays.equals(strings, that.strings);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -0,0 +1,166 @@
+package com.kgulyy.args;
+
+import com.kgulyy.args.exception.ErrorCode;
+import com.kgulyy.args.exception.ParserException;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Memoizes parse outcomes keyed on schema and argument content. Both results and
+ * {@link ParserException} outcomes are cached; a cached failure is rethrown as a fresh exception.
+ * Lookups are lock-free. Once {@code maxSize} entries are held, entries are evicted in insertion
+ * order, except that an entry hit since it was last examined gets a second chance (CLOCK).
+ */
+@SuppressWarnings("WeakerAccess")
+public class ParsedArgumentsCache {
+    private final int maxSize;
+    private final ConcurrentHashMap<Key, Outcome> outcomes;
+    private final Queue<Map.Entry<Key, Outcome>> clock;
+
+    public ParsedArgumentsCache(int maxSize) {
+        if (maxSize <= 0)
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        this.maxSize = maxSize;
+        this.outcomes = new ConcurrentHashMap<>();
+        this.clock = new ConcurrentLinkedQueue<>();
+    }
+
+    public ParsedArguments parse(String schema, String[] args) throws ParserException {
+        Key key = new Key(schema, args);
+        Outcome outcome = outcomes.get(key);
+        if (outcome == null)
+            outcome = store(key.copy(), compute(schema, args));
+        else
+            outcome.markReferenced();
+        return outcome.get();
+    }
+
+    public int size() {
+        return outcomes.size();
+    }
+
+    public void clear() {
+        Map.Entry<Key, Outcome> entry;
+        while ((entry = clock.poll()) != null)
+            outcomes.remove(entry.getKey(), entry.getValue());
+    }
+
+    private static Outcome compute(String schema, String[] args) {
+        try {
+            return new Outcome(new ArgumentsParser(schema, args).snapshot());
+        } catch (ParserException e) {
+            return new Outcome(e);
+        }
+    }
+
+    private Outcome store(Key key, Outcome outcome) {
+        Outcome existing = outcomes.putIfAbsent(key, outcome);
+        if (existing != null)
+            return existing;
+        clock.add(new SimpleImmutableEntry<>(key, outcome));
+        evict();
+        return outcome;
+    }
+
+    private void evict() {
+        while (outcomes.size() > maxSize) {
+            Map.Entry<Key, Outcome> eldest = clock.poll();
+            if (eldest == null)
+                return;
+            Outcome outcome = eldest.getValue();
+            if (outcomes.get(eldest.getKey()) != outcome)
+                continue;
+            if (outcome.clearReferenced())
+                clock.add(eldest);
+            else
+                outcomes.remove(eldest.getKey(), outcome);
+        }
+    }
+
+    private static final class Key {
+        private final String schema;
+        private final String[] args;
+        private final int hash;
+
+        Key(String schema, String[] args) {
+            this(schema, args, hash(schema, args));
+        }
+
+        private Key(String schema, String[] args, int hash) {
+            this.schema = schema;
+            this.args = args;
+            this.hash = hash;
+        }
+
+        private static int hash(String schema, String[] args) {
+            int result = schema.hashCode();
+            for (String arg : args)
+                result = 31 * result + (arg == null ? 0 : arg.hashCode());
+            return result;
+        }
+
+        Key copy() {
+            return new Key(schema, args.clone(), hash);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof Key))
+                return false;
+            Key that = (Key) o;
+            return hash == that.hash && schema.equals(that.schema) && Arrays.equals(args, that.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Outcome {
+        private final ParsedArguments result;
+        private final ErrorCode errorCode;
+        private final char errorArgumentId;
+        private final String errorParameter;
+        private volatile boolean referenced;
+
+        Outcome(ParsedArguments result) {
+            this.result = result;
+            this.errorCode = null;
+            this.errorArgumentId = '\0';
+            this.errorParameter = null;
+        }
+
+        Outcome(ParserException e) {
+            this.result = null;
+            this.errorCode = e.getErrorCode();
+            this.errorArgumentId = e.getErrorArgumentId();
+            this.errorParameter = e.getErrorParameter();
+        }
+
+        void markReferenced() {
+            if (!referenced)
+                referenced = true;
+        }
+
+        boolean clearReferenced() {
+            if (!referenced)
+                return false;
+            referenced = false;
+            return true;
+        }
+
+        ParsedArguments get() throws ParserException {
+            if (errorCode != null)
+                throw new ParserException(errorCode, errorArgumentId, errorParameter);
+            return result;
+        }
+    }
+}
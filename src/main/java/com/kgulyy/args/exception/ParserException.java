@@ -33,6 +33,10 @@ public class ParserException extends Exception {
         return errorArgumentId;
     }
 
+    public String getErrorParameter() {
+        return errorParameter;
+    }
+
 
     public void setErrorArgumentId(char errorArgumentId) {
         this.errorArgumentId = errorArgumentId;
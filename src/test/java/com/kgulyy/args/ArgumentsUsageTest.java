@@ -0,0 +1,142 @@
+package com.kgulyy.args;
+
+import com.kgulyy.args.exception.ParserException;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.kgulyy.args.exception.ErrorCode.INVALID_ARGUMENT_FORMAT;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.*;
+
+public class ArgumentsUsageTest {
+    private static final String NL = System.lineSeparator();
+
+    @Test
+    public void getText_Positive_EmptySchema() throws ParserException {
+        ArgumentsUsage usage = new ArgumentsUsage("");
+
+        assertThat(usage.getText(), is("Usage:" + NL));
+    }
+
+    @Test
+    public void getText_Positive_TypesFromSchemaInOrder() throws ParserException {
+        ArgumentsUsage usage = new ArgumentsUsage("v, n#, s*, r##");
+        String expected = "Usage: [-v] [-n <integer>] [-s <string>] [-r <double>]" + NL
+                + "  -v" + NL
+                + "  -n <integer>" + NL
+                + "  -s <string>" + NL
+                + "  -r <double>" + NL;
+
+        assertThat(usage.getText(), is(expected));
+    }
+
+    @Test
+    public void getText_Positive_DescriptionsAndDefaults() throws ParserException {
+        Map<Character, String> descriptions = new HashMap<>();
+        descriptions.put('l', "enable logging");
+        descriptions.put('p', "port");
+        Map<Character, String> defaults = new HashMap<>();
+        defaults.put('p', "8080");
+        defaults.put('d', "/tmp");
+        ArgumentsUsage usage = new ArgumentsUsage("l,p#,d*", descriptions, defaults);
+        String expected = "Usage: [-l] [-p <integer>] [-d <string>]" + NL
+                + "  -l              enable logging" + NL
+                + "  -p <integer>    port (default: 8080)" + NL
+                + "  -d <string>     (default: /tmp)" + NL;
+
+        assertThat(usage.getText(), is(expected));
+        assertThat(usage.toString(), is(expected));
+    }
+
+    @Test
+    public void writeTo_Positive_WritesUtf8ByDefault() throws ParserException, IOException {
+        Map<Character, String> descriptions = new HashMap<>();
+        descriptions.put('\u00E9', "\u00E9t\u00E9");
+        ArgumentsUsage usage = new ArgumentsUsage("\u00E9", descriptions, new HashMap<Character, String>());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        usage.writeTo(out);
+        usage.writeTo(out);
+
+        assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8), is(usage.getText() + usage.getText()));
+    }
+
+    @Test
+    public void writeTo_Positive_EncodesWithConstructorCharset() throws ParserException, IOException {
+        Map<Character, String> descriptions = new HashMap<>();
+        descriptions.put('\u00E9', "\u00E9t\u00E9");
+        ArgumentsUsage usage = new ArgumentsUsage("\u00E9", descriptions, new HashMap<Character, String>(),
+                StandardCharsets.ISO_8859_1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        usage.writeTo(out);
+
+        assertThat(new String(out.toByteArray(), StandardCharsets.ISO_8859_1), is(usage.getText()));
+    }
+
+    @Test
+    public void getText_Positive_BooleanDefault() throws ParserException {
+        Map<Character, String> defaults = new HashMap<>();
+        defaults.put('l', "false");
+        ArgumentsUsage usage = new ArgumentsUsage("l", new HashMap<Character, String>(), defaults);
+
+        assertThat(usage.getText(), is("Usage: [-l]" + NL + "  -l    (default: false)" + NL));
+    }
+
+    @Test
+    public void constructor_Negative_InvalidIntegerDefault() throws ParserException {
+        assertInvalidDefault("p#", 'p', "abc", "Default for -p must be an integer but was 'abc'.");
+    }
+
+    @Test
+    public void constructor_Negative_InvalidDoubleDefault() throws ParserException {
+        assertInvalidDefault("r##", 'r', "abc", "Default for -r must be a double but was 'abc'.");
+    }
+
+    @Test
+    public void constructor_Negative_InvalidBooleanDefault() throws ParserException {
+        assertInvalidDefault("l", 'l', "yes", "Default for -l must be a boolean but was 'yes'.");
+    }
+
+    private static void assertInvalidDefault(String schema, char id, String defaultValue, String expectedMsg)
+            throws ParserException {
+        Map<Character, String> defaults = new HashMap<>();
+        defaults.put(id, defaultValue);
+
+        try {
+            new ArgumentsUsage(schema, new HashMap<Character, String>(), defaults);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is(expectedMsg));
+        }
+    }
+
+    @Test
+    public void constructor_Negative_InvalidSchema() {
+        try {
+            new ArgumentsUsage("l~");
+            fail("ParserException expected");
+        } catch (ParserException e) {
+            assertEquals(INVALID_ARGUMENT_FORMAT, e.getErrorCode());
+            assertEquals('l', e.getErrorArgumentId());
+        }
+    }
+
+    @Test
+    public void constructor_Negative_DescriptionForUnknownArgument() throws ParserException {
+        Map<Character, String> descriptions = new HashMap<>();
+        descriptions.put('x', "unknown");
+
+        try {
+            new ArgumentsUsage("l", descriptions, new HashMap<Character, String>());
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is("Argument -x is not in the schema."));
+        }
+    }
+}
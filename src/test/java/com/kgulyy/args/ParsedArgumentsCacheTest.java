@@ -0,0 +1,178 @@
+package com.kgulyy.args;
+
+import com.kgulyy.args.exception.ParserException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static com.kgulyy.args.exception.ErrorCode.INVALID_INTEGER;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.*;
+
+public class ParsedArgumentsCacheTest {
+    private static final String SCHEMA = "l,p#,d*";
+    private static final String TEST_STRING = "TestString";
+
+    @Test
+    public void parse_Positive_RepeatReturnsCachedResult() throws ParserException {
+        ParsedArgumentsCache cache = new ParsedArgumentsCache(10);
+
+        ParsedArguments first = cache.parse(SCHEMA, new String[]{"-l", "-p", "42"});
+        ParsedArguments second = cache.parse(SCHEMA, new String[]{"-l", "-p", "42"});
+
+        assertSame(first, second);
+        assertThat(second.getInt('p'), is(42));
+        assertThat(cache.size(), is(1));
+    }
+
+    @Test
+    public void parse_Positive_DifferentArgumentsAreDistinct() throws ParserException {
+        ParsedArgumentsCache cache = new ParsedArgumentsCache(10);
+
+        ParsedArguments first = cache.parse(SCHEMA, new String[]{"-p", "42"});
+        ParsedArguments second = cache.parse(SCHEMA, new String[]{"-p", "43"});
+        ParsedArguments third = cache.parse("l,p#", new String[]{"-p", "42"});
+
+        assertThat(first.getInt('p'), is(42));
+        assertThat(second.getInt('p'), is(43));
+        assertNotSame(first, third);
+        assertThat(cache.size(), is(3));
+    }
+
+    @Test
+    public void parse_Positive_CallerMutationDoesNotAffectCache() throws ParserException {
+        ParsedArgumentsCache cache = new ParsedArgumentsCache(10);
+        String[] arguments = {"-d", TEST_STRING};
+        ParsedArguments first = cache.parse(SCHEMA, arguments);
+
+        arguments[1] = "Changed";
+        ParsedArguments second = cache.parse(SCHEMA, arguments);
+        ParsedArguments third = cache.parse(SCHEMA, new String[]{"-d", TEST_STRING});
+
+        assertThat(second.getString('d'), is("Changed"));
+        assertSame(first, third);
+    }
+
+    @Test
+    public void parse_Negative_FailureIsCachedAndRethrown() {
+        ParsedArgumentsCache cache = new ParsedArgumentsCache(10);
+        String[] arguments = {"-p", TEST_STRING};
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                cache.parse(SCHEMA, arguments);
+                fail("ParserException expected");
+            } catch (ParserException e) {
+                assertEquals(INVALID_INTEGER, e.getErrorCode());
+                assertEquals('p', e.getErrorArgumentId());
+                assertEquals(TEST_STRING, e.getErrorParameter());
+            }
+        }
+        assertThat(cache.size(), is(1));
+    }
+
+    @Test
+    public void parse_Positive_ReferencedEntryGetsSecondChance() throws ParserException {
+        ParsedArgumentsCache cache = new ParsedArgumentsCache(2);
+
+        ParsedArguments hot = cache.parse(SCHEMA, new String[]{"-p", "1"});
+        ParsedArguments cold = cache.parse(SCHEMA, new String[]{"-p", "2"});
+        cache.parse(SCHEMA, new String[]{"-p", "1"});
+        cache.parse(SCHEMA, new String[]{"-p", "3"});
+
+        assertSame(hot, cache.parse(SCHEMA, new String[]{"-p", "1"}));
+        assertNotSame(cold, cache.parse(SCHEMA, new String[]{"-p", "2"}));
+    }
+
+    @Test
+    public void parse_Positive_ConcurrentParseAndClearStayConsistent() throws Exception {
+        final int maxSize = 8;
+        final int distinct = 32;
+        final ParsedArgumentsCache cache = new ParsedArgumentsCache(maxSize);
+
+        runConcurrently(8, new Task() {
+            @Override
+            public void run(int thread) throws ParserException {
+                for (int i = 0; i < 20000; i++) {
+                    int value = (thread * 7 + i) % distinct;
+                    if (i % 997 == 0)
+                        cache.clear();
+                    ParsedArguments parsed = cache.parse(SCHEMA, new String[]{"-p", String.valueOf(value)});
+                    assertThat(parsed.getInt('p'), is(value));
+                }
+            }
+        });
+
+        assertTrue(cache.size() <= maxSize);
+        cache.clear();
+        assertThat(cache.size(), is(0));
+        for (int value = 0; value < distinct; value++)
+            cache.parse(SCHEMA, new String[]{"-p", String.valueOf(value)});
+        assertThat(cache.size(), is(maxSize));
+    }
+
+    @Test
+    public void parse_Positive_ConcurrentHitsShareCachedResult() throws Exception {
+        final ParsedArgumentsCache cache = new ParsedArgumentsCache(4);
+        final ParsedArguments cached = cache.parse(SCHEMA, new String[]{"-l", "-p", "42"});
+
+        runConcurrently(8, new Task() {
+            @Override
+            public void run(int thread) throws ParserException {
+                for (int i = 0; i < 20000; i++)
+                    assertSame(cached, cache.parse(SCHEMA, new String[]{"-l", "-p", "42"}));
+            }
+        });
+
+        assertThat(cache.size(), is(1));
+    }
+
+    private interface Task {
+        void run(int thread) throws Exception;
+    }
+
+    private static void runConcurrently(int threads, final Task task) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            futures.add(executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    start.await();
+                    task.run(thread);
+                    return null;
+                }
+            }));
+        }
+        start.countDown();
+        try {
+            for (Future<?> future : futures)
+                future.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void parse_Positive_OldestUnreferencedEntryEvicted() throws ParserException {
+        ParsedArgumentsCache cache = new ParsedArgumentsCache(2);
+
+        ParsedArguments first = cache.parse(SCHEMA, new String[]{"-p", "1"});
+        cache.parse(SCHEMA, new String[]{"-p", "2"});
+        cache.parse(SCHEMA, new String[]{"-p", "3"});
+        ParsedArguments reparsed = cache.parse(SCHEMA, new String[]{"-p", "1"});
+
+        assertThat(cache.size(), is(2));
+        assertNotSame(first, reparsed);
+        assertEquals(first, reparsed);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_Negative_NonPositiveSize() {
+        new ParsedArgumentsCache(0);
+    }
+}
@@ -0,0 +1,105 @@
+package com.kgulyy.args;
+
+import com.kgulyy.args.exception.ParserException;
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.*;
+
+public class ParsedArgumentsTest {
+    private static final String SCHEMA = "a,b*,c#,d##,e";
+    private static final String TEST_STRING = "TestString";
+    private static final int TEST_INT = 124;
+    private static final double TEST_DOUBLE = 75.45;
+
+    private static ParsedArguments snapshot(String schema, String... arguments) throws ParserException {
+        return new ArgumentsParser(schema, arguments).snapshot();
+    }
+
+    @Test
+    public void snapshot_Positive_ValuesMatchParser() throws ParserException {
+        String[] arguments = {"-ab", TEST_STRING, "-c", String.valueOf(TEST_INT), "-d", String.valueOf(TEST_DOUBLE)};
+        ArgumentsParser parser = new ArgumentsParser(SCHEMA, arguments);
+
+        ParsedArguments parsed = parser.snapshot();
+
+        assertThat(parsed.cardinality(), is(parser.cardinality()));
+        assertTrue(parsed.has('a'));
+        assertFalse(parsed.has('e'));
+        assertTrue(parsed.getBoolean('a'));
+        assertFalse(parsed.getBoolean('e'));
+        assertThat(parsed.getString('b'), is(TEST_STRING));
+        assertThat(parsed.getInt('c'), is(TEST_INT));
+        assertThat(parsed.getDouble('d'), is(TEST_DOUBLE));
+    }
+
+    @Test
+    public void snapshot_Positive_DefaultsForMissingOrMismatchedArgs() throws ParserException {
+        ParsedArguments parsed = snapshot(SCHEMA);
+
+        assertThat(parsed.cardinality(), is(0));
+        assertFalse(parsed.has('z'));
+        assertFalse(parsed.getBoolean('z'));
+        assertThat(parsed.getString('b'), is(""));
+        assertThat(parsed.getString('c'), is(""));
+        assertThat(parsed.getInt('b'), is(0));
+        assertThat(parsed.getDouble('c'), is(0.0));
+    }
+
+    @Test
+    public void snapshot_Positive_StringsInterned() throws ParserException {
+        ParsedArguments parsed = snapshot("s*", "-s", new String(TEST_STRING.toCharArray()));
+
+        assertSame(TEST_STRING, parsed.getString('s'));
+    }
+
+    @Test
+    public void snapshot_Positive_IndependentOfCallerArguments() throws ParserException {
+        String[] arguments = {"-b", TEST_STRING};
+        ParsedArguments parsed = snapshot(SCHEMA, arguments);
+
+        arguments[1] = "Changed";
+
+        assertThat(parsed.getString('b'), is(TEST_STRING));
+    }
+
+    @Test
+    public void equals_Positive_SameSchemaAndArguments() throws ParserException {
+        ParsedArguments first = snapshot(SCHEMA, "-ac", String.valueOf(TEST_INT));
+        ParsedArguments second = snapshot(" e, d##, c#, b*, a", "-c", String.valueOf(TEST_INT), "-a");
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+    }
+
+    @Test
+    public void equals_Negative_DifferentValues() throws ParserException {
+        ParsedArguments first = snapshot(SCHEMA, "-c", String.valueOf(TEST_INT));
+        ParsedArguments second = snapshot(SCHEMA, "-c", String.valueOf(TEST_INT + 1));
+        ParsedArguments third = snapshot(SCHEMA, "-c", String.valueOf(TEST_INT), "-e");
+
+        assertNotEquals(first, second);
+        assertNotEquals(first, third);
+    }
+
+    @Test
+    public void equals_Negative_DifferentSchema() throws ParserException {
+        ParsedArguments first = snapshot("a");
+        ParsedArguments second = snapshot("a*");
+
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    public void has_Positive_MoreThanSixtyFourArguments() throws ParserException {
+        StringBuilder schema = new StringBuilder();
+        for (char c = '\u00C0'; c < '\u0140'; c++)
+            if (Character.isLetter(c))
+                schema.append(c).append(',');
+        ParsedArguments parsed = snapshot(schema.toString(), "-\u013F");
+
+        assertTrue(parsed.has('\u013F'));
+        assertFalse(parsed.has('\u00C0'));
+        assertThat(parsed.cardinality(), is(1));
+    }
+}
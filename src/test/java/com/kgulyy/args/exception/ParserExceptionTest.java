@@ -98,4 +98,13 @@ public class ParserExceptionTest {
 
         assertThat(expectedMsg, is(actualMsg));
     }
+
+    @Test
+    public void getErrorParameter() {
+        ParserException e = new ParserException(ErrorCode.INVALID_INTEGER, ARG, ERROR_PARAMETER);
+
+        String actualParameter = e.getErrorParameter();
+
+        assertThat(ERROR_PARAMETER, is(actualParameter));
+    }
 }
\ No newline at end of file